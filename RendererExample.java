@@ -4,14 +4,31 @@ import java.awt.*;
 import java.awt.event.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A First-Person Voxel Grid viewer built using my own custom 3D renderer.
@@ -25,12 +42,15 @@ import java.util.HashMap;
  * - Critically refined core collision detection logic, resolving all known issues with falling through the world,
  *   teleporting, and glitchy movement when interacting with block sides or during vertical motion.
  * - Accurate ground detection for reliable jumping.
+ * - Dynamic resolution scaling: renders at a reduced internal resolution to hold a target frame time (F1 toggles, F3 shows stats).
+ * - World split into chunks; distant chunks are drawn from cached impostor billboards with depth (F2 toggles).
+ * - Frame capture to a raw RGB file/pipe or a PNG sequence on a background thread (F9 starts/stops).
  * @Author: Ann! :3
  * @License: Creative Commons Attribution-NonCommercial-ShareAlike 4.0 (CC BY-NC-SA 4.0)
  */
 public class RendererExample extends JPanel implements KeyListener, MouseMotionListener, MouseListener {
 
-    private final Mesh worldMesh;
+    private final List<Chunk> worldChunks;
     private final Map<Vector3D, BlockType> worldBlocks = new HashMap<>();
     private final Matrix4x4 projectionMatrix;
     private final Camera camera; // Camera now initialized with worldBlocks
@@ -41,6 +61,27 @@ public class RendererExample extends JPanel implements KeyListener, MouseMotionL
     private Robot robot;
     private boolean mouseLocked = false;
 
+    // Dynamic resolution: image/zBuffer are sized to the panel, but only the top-left renderWidth x renderHeight
+    // region is rasterized each frame and then upscaled to the panel.
+    private static final double TARGET_FRAME_TIME_MS = Double.parseDouble(System.getProperty("render.targetFrameMs", "16.6"));
+    private static final double MIN_RENDER_SCALE = 0.25;
+    private static final double MAX_RENDER_SCALE = 1.0;
+    private static final double RENDER_SCALE_STEP = 0.05; // Scale is snapped to this step so the image doesn't shimmer
+    private boolean dynamicResolution = Boolean.getBoolean("render.dynamicResolution"); // Off unless enabled, toggled with F1
+    private boolean showStats = false; // Toggled with F3
+    private double renderScale = MAX_RENDER_SCALE;
+    private double smoothedFrameTimeMs = TARGET_FRAME_TIME_MS;
+    private int renderWidth, renderHeight;
+
+    // Impostors: chunks further than IMPOSTOR_DISTANCE are rendered offscreen once and reused as depth billboards
+    private static final int CHUNK_SIZE = 4;
+    private static final double IMPOSTOR_DISTANCE = 10.0;
+    private static final long IMPOSTOR_MEMORY_BUDGET = 32L * 1024 * 1024;
+    private final ImpostorCache impostorCache = new ImpostorCache(IMPOSTOR_MEMORY_BUDGET);
+    private boolean useImpostors = Boolean.getBoolean("render.impostors"); // Off unless enabled, toggled with F2
+
+    private FrameRecorder recorder; // Non-null while recording, toggled with F9
+
     enum VoxelFace { NORTH, SOUTH, EAST, WEST, TOP, BOTTOM }
     enum BlockType { GRASS, DIRT, STONE } // New enum for block types
 
@@ -58,6 +99,12 @@ public class RendererExample extends JPanel implements KeyListener, MouseMotionL
                 panel.requestFocusInWindow();
             }
         });
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                panel.stopRecording(); // Runs before EXIT_ON_CLOSE exits, so queued frames still get written
+            }
+        });
     }
 
     public RendererExample() {
@@ -75,7 +122,7 @@ public class RendererExample extends JPanel implements KeyListener, MouseMotionL
 
         this.camera = new Camera(this.worldBlocks); // Initialize camera here
         generateWorld(); // Generate world using Perlin noise
-        this.worldMesh = createWorldMesh(); // Call without blockSet, uses class member worldBlocks
+        this.worldChunks = createWorldChunks(); // Uses class member worldBlocks
 
         double aspectRatio = (double) 720 / 1280;
         this.projectionMatrix = Matrix4x4.createProjection(90.0, aspectRatio, 0.1, 1000.0);
@@ -140,21 +187,84 @@ public class RendererExample extends JPanel implements KeyListener, MouseMotionL
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
+        long frameStart = System.nanoTime();
 
+        // Buffers only follow the panel size; render scale changes reuse them
         if (image == null || image.getWidth() != getWidth() || image.getHeight() != getHeight()) {
             image = new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_RGB);
             zBuffer = new double[getWidth() * getHeight()];
             projectionMatrix.m[0][0] = (double) getHeight() / getWidth() * projectionMatrix.m[1][1];
         }
+        double snappedScale = Math.round(renderScale / RENDER_SCALE_STEP) * RENDER_SCALE_STEP;
+        renderWidth = Math.max(1, Math.min(getWidth(), (int) Math.round(getWidth() * snappedScale)));
+        renderHeight = Math.max(1, Math.min(getHeight(), (int) Math.round(getHeight() * snappedScale)));
 
         Graphics2D g2d = image.createGraphics();
         g2d.setColor(new Color(135, 206, 235)); // Sky color
-        g2d.fillRect(0, 0, getWidth(), getHeight());
-        Arrays.fill(zBuffer, Double.POSITIVE_INFINITY);
+        g2d.fillRect(0, 0, renderWidth, renderHeight);
+        Arrays.fill(zBuffer, 0, renderWidth * renderHeight, Double.POSITIVE_INFINITY);
 
+        RenderTarget screen = new RenderTarget(image, zBuffer, renderWidth, renderHeight);
         Matrix4x4 viewMatrix = camera.getViewMatrix();
 
-        for (Triangle tri : worldMesh.tris) {
+        for (Chunk chunk : worldChunks) {
+            Vector3D viewCenter = Matrix4x4.multiply(viewMatrix, chunk.center);
+            if (!isSphereInView(viewCenter, chunk.radius, projectionMatrix)) {
+                continue; // Every triangle of this chunk would be clipped anyway
+            }
+            // Billboard corners reach up to ~1.7 radii from the center, so only use an impostor when all of it is in front of the near plane
+            boolean impostorAllowed = useImpostors && viewCenter.z - 2 * chunk.radius > 0.1;
+            Impostor impostor = impostorAllowed ? impostorCache.get(chunk, camera.position, projectionMatrix.m[1][1] * renderHeight) : null;
+            if (impostor == null || !drawImpostor(screen, impostor, viewMatrix, projectionMatrix)) {
+                rasterizeMesh(screen, chunk.mesh.tris, viewMatrix, projectionMatrix);
+            }
+        }
+
+        if (recorder != null && recorder.getFailure() != null) {
+            IOException failure = recorder.getFailure();
+            stopRecording();
+            // Not from inside paintComponent, the dialog is modal
+            SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this, "Frame capture failed: " + failure.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
+        }
+        long captureNanos = 0;
+        if (recorder != null) {
+            long captureStart = System.nanoTime();
+            recorder.submit(image, renderWidth, renderHeight);
+            captureNanos = System.nanoTime() - captureStart;
+        }
+
+        // Nearest-neighbour upscale of the rendered region to the full panel (cheapest filter Java2D offers)
+        ((Graphics2D) g).setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g.drawImage(image, 0, 0, getWidth(), getHeight(), 0, 0, renderWidth, renderHeight, null);
+        g2d.dispose();
+
+        // Capture time is left out, otherwise a slow encoder in lossless mode would push the resolution down
+        updateRenderScale((System.nanoTime() - frameStart - captureNanos) / 1_000_000.0);
+        if (showStats) {
+            drawStats(g);
+        }
+    }
+
+    /**
+     * Tests a view-space bounding sphere against the near plane and the four side planes of the view frustum.
+     * @param viewCenter The sphere center already transformed by the view matrix.
+     * @return False only if the sphere is entirely outside the frustum.
+     */
+    private static boolean isSphereInView(Vector3D viewCenter, double radius, Matrix4x4 projectionMatrix) {
+        if (viewCenter.z + radius < 0.1) return false; // Entirely behind the clipping distance used by rasterizeMesh
+        // Side planes are |x| * m[0][0] = z and |y| * m[1][1] = z; compare signed distances against the radius
+        double sx = projectionMatrix.m[0][0], sy = projectionMatrix.m[1][1];
+        if (Math.abs(viewCenter.x) * sx - viewCenter.z > radius * Math.sqrt(sx * sx + 1)) return false;
+        if (Math.abs(viewCenter.y) * sy - viewCenter.z > radius * Math.sqrt(sy * sy + 1)) return false;
+        return true;
+    }
+
+    /**
+     * Transforms, culls, projects and rasterizes world-space triangles into the given target.
+     * Used both for the main view and for capturing impostors offscreen.
+     */
+    private static void rasterizeMesh(RenderTarget target, List<Triangle> tris, Matrix4x4 viewMatrix, Matrix4x4 projectionMatrix) {
+        for (Triangle tri : tris) {
             Vector3D p1_view = Matrix4x4.multiply(viewMatrix, tri.p1);
             Vector3D p2_view = Matrix4x4.multiply(viewMatrix, tri.p2);
             Vector3D p3_view = Matrix4x4.multiply(viewMatrix, tri.p3);
@@ -178,15 +288,15 @@ public class RendererExample extends JPanel implements KeyListener, MouseMotionL
             p2_projected.perspectiveDivide();
             p3_projected.perspectiveDivide();
 
-            // Convert from normalized device coordinates to screen coordinates
-            p1_projected.x = (p1_projected.x + 1) * 0.5 * getWidth();
-            p2_projected.x = (p2_projected.x + 1) * 0.5 * getWidth();
-            p3_projected.x = (p3_projected.x + 1) * 0.5 * getWidth();
+            // Convert from normalized device coordinates to target pixel coordinates
+            p1_projected.x = (p1_projected.x + 1) * 0.5 * target.width;
+            p2_projected.x = (p2_projected.x + 1) * 0.5 * target.width;
+            p3_projected.x = (p3_projected.x + 1) * 0.5 * target.width;
 
             // Invert Y-axis to fix upside-down rendering
-            p1_projected.y = (1.0 - p1_projected.y) * 0.5 * getHeight();
-            p2_projected.y = (1.0 - p2_projected.y) * 0.5 * getHeight();
-            p3_projected.y = (1.0 - p3_projected.y) * 0.5 * getHeight();
+            p1_projected.y = (1.0 - p1_projected.y) * 0.5 * target.height;
+            p2_projected.y = (1.0 - p2_projected.y) * 0.5 * target.height;
+            p3_projected.y = (1.0 - p3_projected.y) * 0.5 * target.height;
 
             Triangle triToRaster = new Triangle(
                 new Vector3D(p1_projected.x, p1_projected.y, p1_view.z),
@@ -194,24 +304,88 @@ public class RendererExample extends JPanel implements KeyListener, MouseMotionL
                 new Vector3D(p3_projected.x, p3_projected.y, p3_view.z),
                 tri.t1, tri.t2, tri.t3, tri.textureAtlas, tri.color, tri.normal
             );
-            drawTriangle_Textured(triToRaster, lightLevel);
+            drawTriangle_Textured(target, triToRaster, lightLevel);
         }
-        g.drawImage(image, 0, 0, null);
-        g2d.dispose();
     }
 
-    private Mesh createWorldMesh() { // Removed blockSet parameter, uses class member worldBlocks
-        List<Triangle> worldTriangles = new ArrayList<>();
+    /**
+     * Nudges the internal render scale towards whatever would hit TARGET_FRAME_TIME_MS.
+     * Raster cost is roughly proportional to pixel count, so the scale moves with the square root of the time ratio.
+     * @param frameTimeMs The time the last paintComponent call took to render, in milliseconds.
+     */
+    private void updateRenderScale(double frameTimeMs) {
+        smoothedFrameTimeMs += (frameTimeMs - smoothedFrameTimeMs) * 0.1; // Smooth out single-frame spikes
+        if (!dynamicResolution) {
+            renderScale = MAX_RENDER_SCALE;
+            return;
+        }
+        double idealScale = renderScale * Math.sqrt(TARGET_FRAME_TIME_MS / Math.max(0.1, smoothedFrameTimeMs));
+        renderScale += (idealScale - renderScale) * 0.2; // Move part of the way each frame to avoid oscillating
+        renderScale = Math.max(MIN_RENDER_SCALE, Math.min(MAX_RENDER_SCALE, renderScale));
+    }
+
+    private void drawStats(Graphics g) {
+        g.setColor(Color.WHITE);
+        g.drawString(String.format("Frame: %.1f ms (target %.1f ms)", smoothedFrameTimeMs, TARGET_FRAME_TIME_MS), 10, 20);
+        g.drawString(String.format("Resolution: %dx%d (%.0f%%, dynamic %s)", renderWidth, renderHeight,
+            100.0 * renderWidth / getWidth(), dynamicResolution ? "on" : "off"), 10, 36);
+        g.drawString(String.format("Impostors: %d cached, %.1f MB, hit rate %.0f%% (%s)", impostorCache.size(),
+            impostorCache.getMemoryBytes() / (1024.0 * 1024.0), 100 * impostorCache.getHitRate(), useImpostors ? "on" : "off"), 10, 52);
+        if (recorder != null && !recorder.isOutputReady()) {
+            g.drawString("Recording: waiting for the output to open (e.g. a reader on the pipe)", 10, 68);
+        } else if (recorder != null) {
+            g.drawString(String.format("Recording: %d written, %d queued, %d dropped, %.2f ms/frame copy", recorder.getFramesWritten(),
+                recorder.getFramesQueued(), recorder.getFramesDropped(), recorder.getAverageCopyMillis()), 10, 68);
+        }
+    }
+
+    /**
+     * Starts or stops frame capture. Configured with system properties:
+     * capture.output (file, named pipe, "-" for stdout, or a directory for PNGs; default capture.rgb or capture/),
+     * capture.format (raw or png; default raw) and capture.lossless (wait for the encoder instead of dropping frames).
+     */
+    private void toggleRecording() {
+        if (recorder != null) {
+            stopRecording();
+            return;
+        }
+        FrameRecorder.Format format = "png".equalsIgnoreCase(System.getProperty("capture.format", "raw"))
+            ? FrameRecorder.Format.PNG_SEQUENCE : FrameRecorder.Format.RAW_RGB;
+        Path output = Paths.get(System.getProperty("capture.output", format == FrameRecorder.Format.PNG_SEQUENCE ? "capture" : "capture.rgb"));
+        try {
+            recorder = new FrameRecorder(output, format, getWidth(), getHeight(), Boolean.getBoolean("capture.lossless"));
+            System.err.printf("Recording %dx%d %s to %s%n", getWidth(), getHeight(), format, output);
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "Failed to start capture: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Stops recording, if active, and waits for queued frames to be written so the output is complete.
+     */
+    public void stopRecording() {
+        if (recorder != null) {
+            recorder.close();
+            recorder = null;
+        }
+    }
+
+    private List<Chunk> createWorldChunks() { // Uses class member worldBlocks
+        Map<Vector3D, Chunk> chunks = new HashMap<>();
         for (Map.Entry<Vector3D, BlockType> entry : worldBlocks.entrySet()) {
             Vector3D pos = entry.getKey();
             BlockType type = entry.getValue();
+            Vector3D chunkKey = new Vector3D(Math.floor(pos.x / CHUNK_SIZE), Math.floor(pos.y / CHUNK_SIZE), Math.floor(pos.z / CHUNK_SIZE));
             for (VoxelFace face : VoxelFace.values()) {
                 if (!worldBlocks.containsKey(getNeighborPosition(pos, face))) {
-                    addFaceTriangles(worldTriangles, pos, face, type, textureAtlases);
+                    // Chunks are only created once they have a visible face, so buried chunks cost nothing
+                    Chunk chunk = chunks.computeIfAbsent(chunkKey, k -> new Chunk());
+                    addFaceTriangles(chunk.mesh.tris, pos, face, type, textureAtlases);
+                    chunk.includeBlock(pos);
                 }
             }
         }
-        return new Mesh(worldTriangles);
+        return new ArrayList<>(chunks.values());
     }
 
     private void addFaceTriangles(List<Triangle> tris, Vector3D pos, VoxelFace face, BlockType type, Map<BlockType, BufferedImage> textureAtlases) {
@@ -280,15 +454,15 @@ public class RendererExample extends JPanel implements KeyListener, MouseMotionL
         }
     }
 
-    private void drawTriangle_Textured(Triangle t, double lightLevel) {
+    private static void drawTriangle_Textured(RenderTarget target, Triangle t, double lightLevel) {
         Vector3D p1 = t.p1, p2 = t.p2, p3 = t.p3;
         Vector2D t1 = t.t1, t2 = t.t2, t3 = t.t3;
         BufferedImage currentTexture = t.textureAtlas; // Use the triangle's specific texture atlas
 
         int minX = Math.max(0, (int) Math.min(p1.x, Math.min(p2.x, p3.x)));
-        int maxX = Math.min(image.getWidth() - 1, (int) Math.ceil(Math.max(p1.x, Math.max(p2.x, p3.x))));
+        int maxX = Math.min(target.width - 1, (int) Math.ceil(Math.max(p1.x, Math.max(p2.x, p3.x))));
         int minY = Math.max(0, (int) Math.min(p1.y, Math.min(p2.y, p3.y)));
-        int maxY = Math.min(image.getHeight() - 1, (int) Math.ceil(Math.max(p1.y, Math.max(p2.y, p3.y))));
+        int maxY = Math.min(target.height - 1, (int) Math.ceil(Math.max(p1.y, Math.max(p2.y, p3.y))));
         
         double area = (p2.y - p3.y) * (p1.x - p3.x) + (p3.x - p2.x) * (p1.y - p3.y);
         if (Math.abs(area) < 1e-6) return; // Avoid division by zero for degenerate triangles
@@ -302,9 +476,9 @@ public class RendererExample extends JPanel implements KeyListener, MouseMotionL
                 if (w1 >= 0 && w2 >= 0 && w3 >= 0) {
                     double z_persp_inv = w1 / p1.z + w2 / p2.z + w3 / p3.z;
                     double z = 1.0 / z_persp_inv;
-                    int zBufferIndex = y * image.getWidth() + x;
+                    int zBufferIndex = y * target.width + x;
                     
-                    if (z < zBuffer[zBufferIndex]) {
+                    if (z < target.zBuffer[zBufferIndex]) {
                         double u = (w1 * t1.u / p1.z + w2 * t2.u / p2.z + w3 * t3.u / p3.z) * z;
                         double v = (w1 * t1.v / p1.z + w2 * t2.v / p2.z + w3 * t3.v / p3.z) * z;
                         
@@ -316,8 +490,82 @@ public class RendererExample extends JPanel implements KeyListener, MouseMotionL
                         Color texColor = new Color(currentTexture.getRGB(texX, texY));
                         Color finalColor = new Color((int) (texColor.getRed() * lightLevel), (int) (texColor.getGreen() * lightLevel), (int) (texColor.getBlue() * lightLevel));
                         
-                        image.setRGB(x, y, finalColor.getRGB());
-                        zBuffer[zBufferIndex] = z;
+                        target.image.setRGB(x, y, finalColor.getRGB());
+                        target.zBuffer[zBufferIndex] = z;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Draws a cached impostor as a world-space quad seen from the current camera.
+     * @return False if the quad straddles the near plane, in which case the caller should rasterize the chunk's mesh instead.
+     */
+    private static boolean drawImpostor(RenderTarget target, Impostor impostor, Matrix4x4 viewMatrix, Matrix4x4 projectionMatrix) {
+        Vector3D[] screen = new Vector3D[4];
+        int behind = 0;
+        for (int i = 0; i < 4; i++) {
+            Vector3D view = Matrix4x4.multiply(viewMatrix, impostor.corners[i]);
+            Vector3D projected = Matrix4x4.multiply(projectionMatrix, view);
+            if (projected.w < 0.1) {
+                behind++;
+                continue;
+            }
+            projected.perspectiveDivide();
+            screen[i] = new Vector3D((projected.x + 1) * 0.5 * target.width, (1.0 - projected.y) * 0.5 * target.height, view.z);
+        }
+        if (behind == 4) return true; // Entirely behind the camera, nothing to draw
+        if (behind > 0) return false;
+
+        // Corners are TL, TR, BR, BL of the impostor texture
+        Vector2D uvTL = new Vector2D(0, 0), uvTR = new Vector2D(1, 0), uvBR = new Vector2D(1, 1), uvBL = new Vector2D(0, 1);
+        drawTriangle_Impostor(target, new Triangle(screen[0], screen[1], screen[2], uvTL, uvTR, uvBR, null, Color.WHITE, null), impostor);
+        drawTriangle_Impostor(target, new Triangle(screen[0], screen[2], screen[3], uvTL, uvBR, uvBL, null, Color.WHITE, null), impostor);
+        return true;
+    }
+
+    /**
+     * Same rasterization as drawTriangle_Textured, but texels are alpha tested and their depth is the quad's depth
+     * scaled by the ratio recorded when the impostor was captured. Lighting is already baked into the texture.
+     */
+    private static void drawTriangle_Impostor(RenderTarget target, Triangle t, Impostor impostor) {
+        Vector3D p1 = t.p1, p2 = t.p2, p3 = t.p3;
+        Vector2D t1 = t.t1, t2 = t.t2, t3 = t.t3;
+        int size = impostor.size;
+
+        int minX = Math.max(0, (int) Math.min(p1.x, Math.min(p2.x, p3.x)));
+        int maxX = Math.min(target.width - 1, (int) Math.ceil(Math.max(p1.x, Math.max(p2.x, p3.x))));
+        int minY = Math.max(0, (int) Math.min(p1.y, Math.min(p2.y, p3.y)));
+        int maxY = Math.min(target.height - 1, (int) Math.ceil(Math.max(p1.y, Math.max(p2.y, p3.y))));
+
+        double area = (p2.y - p3.y) * (p1.x - p3.x) + (p3.x - p2.x) * (p1.y - p3.y);
+        if (Math.abs(area) < 1e-6) return;
+
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                double w1 = ((p2.y - p3.y) * (x - p3.x) + (p3.x - p2.x) * (y - p3.y)) / area;
+                double w2 = ((p3.y - p1.y) * (x - p3.x) + (p1.x - p3.x) * (y - p3.y)) / area;
+                double w3 = 1.0 - w1 - w2;
+
+                if (w1 >= 0 && w2 >= 0 && w3 >= 0) {
+                    double z_persp_inv = w1 / p1.z + w2 / p2.z + w3 / p3.z;
+                    double zQuad = 1.0 / z_persp_inv;
+                    double u = (w1 * t1.u / p1.z + w2 * t2.u / p2.z + w3 * t3.u / p3.z) * zQuad;
+                    double v = (w1 * t1.v / p1.z + w2 * t2.v / p2.z + w3 * t3.v / p3.z) * zQuad;
+
+                    int texX = Math.max(0, Math.min(size - 1, (int) (u * size)));
+                    int texY = Math.max(0, Math.min(size - 1, (int) (v * size)));
+                    int texel = texY * size + texX;
+                    int argb = impostor.pixels[texel];
+                    if ((argb >>> 24) == 0) continue; // Nothing was rendered here during capture
+
+                    // The surface lies on the same ray from the eye as the quad point, so its depth scales with the quad's
+                    double z = zQuad * impostor.depthRatios[texel];
+                    int zBufferIndex = y * target.width + x;
+                    if (z < target.zBuffer[zBufferIndex]) {
+                        target.image.setRGB(x, y, argb);
+                        target.zBuffer[zBufferIndex] = z;
                     }
                 }
             }
@@ -334,6 +582,14 @@ public class RendererExample extends JPanel implements KeyListener, MouseMotionL
     public void keyPressed(KeyEvent e) {
         if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
             setMouseLock(false);
+        } else if (e.getKeyCode() == KeyEvent.VK_F1) {
+            dynamicResolution = !dynamicResolution;
+        } else if (e.getKeyCode() == KeyEvent.VK_F2) {
+            useImpostors = !useImpostors;
+        } else if (e.getKeyCode() == KeyEvent.VK_F3) {
+            showStats = !showStats;
+        } else if (e.getKeyCode() == KeyEvent.VK_F9) {
+            toggleRecording();
         } else {
             pressedKeys.add(e.getKeyCode());
         }
@@ -617,6 +873,186 @@ public class RendererExample extends JPanel implements KeyListener, MouseMotionL
         public Mesh(List<Triangle> tris) { this.tris = tris; }
     }
 
+    static class RenderTarget {
+        BufferedImage image;
+        double[] zBuffer;
+        int width, height; // Region actually rendered into, may be smaller than the image itself
+        public RenderTarget(BufferedImage image, double[] zBuffer, int width, int height) {
+            this.image = image; this.zBuffer = zBuffer; this.width = width; this.height = height;
+        }
+    }
+
+    /**
+     * A group of blocks whose visible faces are rendered together, either directly or through an impostor.
+     */
+    static class Chunk {
+        final Mesh mesh = new Mesh(new ArrayList<>());
+        Vector3D min = new Vector3D(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+        Vector3D max = new Vector3D(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);
+        Vector3D center = new Vector3D(0, 0, 0);
+        double radius = 0; // Bounding sphere around center
+        // Compared against Impostor.chunkVersion so cached impostors get recaptured when the chunk changes. The world is
+        // static after generateWorld, so nothing bumps this yet; any future block editing must increment it (and rebuild
+        // the chunk's mesh) for every chunk it touches.
+        int version = 0;
+
+        void includeBlock(Vector3D pos) {
+            min = new Vector3D(Math.min(min.x, pos.x - 0.5), Math.min(min.y, pos.y - 0.5), Math.min(min.z, pos.z - 0.5));
+            max = new Vector3D(Math.max(max.x, pos.x + 0.5), Math.max(max.y, pos.y + 0.5), Math.max(max.z, pos.z + 0.5));
+            center = Vector3D.multiply(Vector3D.add(min, max), 0.5);
+            radius = Vector3D.subtract(max, center).length();
+        }
+    }
+
+    /**
+     * A chunk rendered offscreen from one viewpoint: a square ARGB texture plus, for every texel, its depth as a ratio
+     * of the billboard quad's depth along the same ray, so it can be depth tested against the rest of the scene.
+     */
+    static class Impostor {
+        final int size;
+        final int[] pixels;
+        final float[] depthRatios; // Surface depth / quad depth, per texel
+        final Vector3D[] corners; // World-space TL, TR, BR, BL of the billboard quad
+        final Vector3D captureDirection; // Normalized eye -> chunk center at capture time
+        final double captureDistance;
+        final int chunkVersion;
+
+        private Impostor(int size, int[] pixels, float[] depthRatios, Vector3D[] corners, Vector3D captureDirection, double captureDistance, int chunkVersion) {
+            this.size = size; this.pixels = pixels; this.depthRatios = depthRatios; this.corners = corners;
+            this.captureDirection = captureDirection; this.captureDistance = captureDistance; this.chunkVersion = chunkVersion;
+        }
+
+        long sizeInBytes() {
+            return (long) size * size * (Integer.BYTES + Float.BYTES);
+        }
+
+        /**
+         * Renders the chunk through the normal pipeline with a camera at eye looking straight at the chunk center,
+         * its field of view fitted to the chunk's bounding sphere.
+         */
+        static Impostor capture(Chunk chunk, Vector3D eye, int size) {
+            Vector3D toChunk = Vector3D.subtract(chunk.center, eye);
+            double distance = toChunk.length();
+            Vector3D forward = toChunk.normalize();
+            Vector3D up = Math.abs(forward.y) > 0.99 ? new Vector3D(0, 0, 1) : new Vector3D(0, 1, 0);
+
+            // createLookAt views along eye -> away from target (see Camera.getViewMatrix), so aim at the mirrored point
+            Matrix4x4 view = Matrix4x4.createLookAt(eye, Vector3D.subtract(eye, forward), up);
+            double halfAngle = Math.asin(chunk.radius / distance);
+            double near = Math.max(0.1, distance - chunk.radius);
+            Matrix4x4 projection = Matrix4x4.createProjection(Math.toDegrees(2 * halfAngle), 1.0, near, distance + chunk.radius + 1);
+
+            BufferedImage texture = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+            double[] depth = new double[size * size];
+            Arrays.fill(depth, Double.POSITIVE_INFINITY);
+            rasterizeMesh(new RenderTarget(texture, depth, size, size), chunk.mesh.tris, view, projection);
+
+            int[] pixels = texture.getRGB(0, 0, size, size, null, 0, size);
+            // The quad sits at view depth `distance` over the whole texture, since it faces the capture camera head on
+            float[] depthRatios = new float[size * size];
+            for (int i = 0; i < depthRatios.length; i++) {
+                depthRatios[i] = (pixels[i] >>> 24) == 0 ? 1f : (float) (depth[i] / distance);
+            }
+
+            // Same basis createLookAt built: screen x runs along xaxis, screen y along yaxis
+            Vector3D zaxis = Vector3D.multiply(forward, -1);
+            Vector3D xaxis = Vector3D.crossProduct(up, zaxis).normalize();
+            Vector3D yaxis = Vector3D.crossProduct(zaxis, xaxis);
+            double halfExtent = distance * Math.tan(halfAngle);
+            Vector3D[] corners = {
+                quadCorner(chunk.center, xaxis, yaxis, -halfExtent, halfExtent),
+                quadCorner(chunk.center, xaxis, yaxis, halfExtent, halfExtent),
+                quadCorner(chunk.center, xaxis, yaxis, halfExtent, -halfExtent),
+                quadCorner(chunk.center, xaxis, yaxis, -halfExtent, -halfExtent)
+            };
+            return new Impostor(size, pixels, depthRatios, corners, forward, distance, chunk.version);
+        }
+
+        private static Vector3D quadCorner(Vector3D center, Vector3D xaxis, Vector3D yaxis, double dx, double dy) {
+            return Vector3D.add(center, Vector3D.add(Vector3D.multiply(xaxis, dx), Vector3D.multiply(yaxis, dy)));
+        }
+    }
+
+    /**
+     * LRU cache of chunk impostors bounded by a memory budget.
+     * An impostor is reused until the direction to its chunk turns more than MAX_ANGLE_DEGREES, the distance changes by
+     * more than MAX_DISTANCE_CHANGE, the wanted texture size drifts past MAX_SIZE_RATIO, or the chunk's contents change.
+     */
+    static class ImpostorCache {
+        private static final double MAX_ANGLE_DEGREES = 4.0;
+        private static final double MAX_DISTANCE_CHANGE = 0.2; // Fraction of the capture distance
+        private static final int MIN_SIZE = 16, MAX_SIZE = 128;
+        private static final int MAX_SIZE_RATIO = 2; // Loose so small dynamic resolution changes don't force recaptures
+
+        private final long memoryBudget;
+        private final LinkedHashMap<Chunk, Impostor> entries = new LinkedHashMap<>(16, 0.75f, true); // Access order = LRU order
+        private long memoryBytes = 0;
+        private long hits = 0, misses = 0, evictions = 0;
+
+        public ImpostorCache(long memoryBudget) {
+            this.memoryBudget = memoryBudget;
+        }
+
+        /**
+         * Returns an up to date impostor for the chunk, capturing one if needed.
+         * @param pixelsPerUnitAtDistanceOne Projection scale in pixels (m[1][1] * render height), used to pick the texture size.
+         * @return The impostor, or null if the chunk is close enough that it should be rendered directly.
+         */
+        public Impostor get(Chunk chunk, Vector3D eye, double pixelsPerUnitAtDistanceOne) {
+            Vector3D toChunk = Vector3D.subtract(chunk.center, eye);
+            double distance = toChunk.length();
+            if (distance < IMPOSTOR_DISTANCE || chunk.radius > distance * 0.5) {
+                return null;
+            }
+
+            int size = (int) Math.ceil(chunk.radius / distance * pixelsPerUnitAtDistanceOne);
+            size = Math.max(MIN_SIZE, Math.min(MAX_SIZE, size));
+
+            Impostor cached = entries.get(chunk);
+            if (cached != null && isValid(cached, chunk, toChunk, distance, size)) {
+                hits++;
+                return cached;
+            }
+            misses++;
+            if (cached != null) {
+                entries.remove(chunk);
+                memoryBytes -= cached.sizeInBytes();
+            }
+
+            Impostor fresh = Impostor.capture(chunk, eye, size);
+            entries.put(chunk, fresh);
+            memoryBytes += fresh.sizeInBytes();
+
+            Iterator<Map.Entry<Chunk, Impostor>> eldest = entries.entrySet().iterator();
+            while (memoryBytes > memoryBudget && eldest.hasNext()) {
+                Map.Entry<Chunk, Impostor> entry = eldest.next();
+                memoryBytes -= entry.getValue().sizeInBytes();
+                eldest.remove();
+                evictions++;
+            }
+            return fresh; // Still usable this frame even if the budget forced it straight back out
+        }
+
+        private boolean isValid(Impostor impostor, Chunk chunk, Vector3D toChunk, double distance, int wantedSize) {
+            if (impostor.chunkVersion != chunk.version) return false;
+            if (wantedSize > impostor.size * MAX_SIZE_RATIO || wantedSize * MAX_SIZE_RATIO < impostor.size) return false;
+            if (Math.abs(distance - impostor.captureDistance) > impostor.captureDistance * MAX_DISTANCE_CHANGE) return false;
+            double cosAngle = Vector3D.dotProduct(Vector3D.multiply(toChunk, 1.0 / distance), impostor.captureDirection);
+            return cosAngle >= Math.cos(Math.toRadians(MAX_ANGLE_DEGREES));
+        }
+
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        public long getMemoryBytes() { return memoryBytes; }
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public int size() { return entries.size(); }
+    }
+
     static class Matrix4x4 {
         double[][] m = new double[4][4];
         public static Vector3D multiply(Matrix4x4 matrix, Vector3D vector) {
@@ -656,6 +1092,221 @@ public class RendererExample extends JPanel implements KeyListener, MouseMotionL
         }
     }
 
+    /**
+     * Streams finished frames out without stalling rendering. The render thread only copies the framebuffer into a
+     * pooled buffer and queues it; a background thread scales it to the output size and writes it through NIO channels.
+     * When the encoder falls behind and the pool is empty, the frame is dropped, or in lossless mode the render thread
+     * waits for a buffer to come back.
+     */
+    static class FrameRecorder {
+        enum Format { RAW_RGB, PNG_SEQUENCE }
+
+        private static final int POOL_SIZE = 4; // Also bounds the encoder queue, since only pooled frames are ever queued
+        private static final long CLOSE_TIMEOUT_MS = 5000;
+        private static final long OPEN_WAIT_MS = 500; // How long close() waits for an output that hasn't opened yet
+
+        private static class Frame {
+            int[] pixels;
+            int width, height;
+            long capturedNanos;
+            Frame(int capacity) { this.pixels = new int[capacity]; }
+        }
+
+        private final Path output;
+        private final Format format;
+        private final int width, height; // Output size, fixed for the whole recording
+        private final boolean lossless;
+        private final boolean toStdout;
+        private final BlockingQueue<Frame> freeFrames = new ArrayBlockingQueue<>(POOL_SIZE);
+        private final BlockingQueue<Frame> pendingFrames = new ArrayBlockingQueue<>(POOL_SIZE);
+        private final Thread encoderThread;
+        private final AtomicLong framesWritten = new AtomicLong();
+        private volatile boolean stopping = false;
+        private volatile boolean outputReady = false; // Frames are only accepted once the encoder has opened the output
+        private volatile IOException failure;
+        private long framesSubmitted = 0, framesDropped = 0, copyNanos = 0; // Only touched by the render thread
+        // Capture times of the first and last frames actually written. Set by the encoder, volatile for getCapturedFps callers
+        private volatile long firstWrittenNanos = -1, lastWrittenNanos = -1;
+
+        public FrameRecorder(Path output, Format format, int width, int height, boolean lossless) throws IOException {
+            this.output = output; this.format = format; this.width = width; this.height = height; this.lossless = lossless;
+            this.toStdout = format == Format.RAW_RGB && "-".equals(output.toString());
+            for (int i = 0; i < POOL_SIZE; i++) {
+                freeFrames.add(new Frame(width * height));
+            }
+            // Raw outputs are opened by the encoder (opening a named pipe blocks until a reader attaches), so only
+            // PNG directory problems are reported here; anything else surfaces through getFailure()
+            if (format == Format.PNG_SEQUENCE) {
+                Files.createDirectories(output);
+            }
+            this.encoderThread = new Thread(this::encodeLoop, "frame-recorder");
+            this.encoderThread.setDaemon(true); // close() joins it; daemon only so a stuck writer can't keep the JVM alive
+            this.encoderThread.start();
+        }
+
+        /**
+         * Called by the render thread with a finished frame. Only the top-left frameWidth x frameHeight region is copied.
+         */
+        public void submit(BufferedImage image, int frameWidth, int frameHeight) {
+            if (stopping || failure != null || !outputReady) return;
+            long start = System.nanoTime();
+            Frame frame = freeFrames.poll();
+            try {
+                while (frame == null && lossless && failure == null) {
+                    frame = freeFrames.poll(10, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (frame == null) {
+                framesDropped++;
+                return;
+            }
+            if (frame.pixels.length < frameWidth * frameHeight) {
+                frame.pixels = new int[frameWidth * frameHeight]; // Panel grew since recording started
+            }
+            // Raster copy is a per-row arraycopy for TYPE_INT_RGB, unlike getRGB which converts every pixel
+            image.getRaster().getDataElements(0, 0, frameWidth, frameHeight, frame.pixels);
+            frame.width = frameWidth;
+            frame.height = frameHeight;
+            frame.capturedNanos = start;
+            pendingFrames.add(frame); // Can't be full, there are only POOL_SIZE frames; the queue publishes the frame
+            framesSubmitted++;
+            copyNanos += System.nanoTime() - start;
+        }
+
+        /**
+         * Stops accepting frames and waits for the encoder to write whatever is queued and close the output.
+         * If it takes longer than CLOSE_TIMEOUT_MS the encoder is interrupted, which may cut the last frame short.
+         * Never blocks for more than twice CLOSE_TIMEOUT_MS; an encoder stuck past that is left behind as a daemon.
+         */
+        public void close() {
+            stopping = true;
+            try {
+                if (!outputReady) {
+                    // Nothing has been queued yet, and a named pipe nobody reads from may never finish opening.
+                    // The encoder closes the output itself if the open does complete later.
+                    encoderThread.join(OPEN_WAIT_MS);
+                    return;
+                }
+                encoderThread.join(CLOSE_TIMEOUT_MS);
+                // Interrupting a FileChannel closes it, and closing fd 1 would take stdout away from the whole process
+                if (encoderThread.isAlive() && !toStdout) {
+                    encoderThread.interrupt();
+                    encoderThread.join(CLOSE_TIMEOUT_MS);
+                }
+                if (encoderThread.isAlive()) {
+                    System.err.println("Frame capture encoder is still blocked on its output, giving up on it");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * @return The error that stopped the encoder, or null while it is still writing.
+         */
+        public IOException getFailure() { return failure; }
+
+        /**
+         * @return False while the encoder is still opening the output, e.g. waiting for a reader on a named pipe.
+         */
+        public boolean isOutputReady() { return outputReady; }
+
+        private void encodeLoop() {
+            int[] scaled = new int[width * height];
+            ByteBuffer rgb = format == Format.RAW_RGB ? ByteBuffer.wrap(new byte[width * height * 3]) : null;
+            BufferedImage png = format == Format.PNG_SEQUENCE ? new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB) : null;
+            WritableByteChannel rawChannel = null;
+            try {
+                if (format == Format.RAW_RGB) {
+                    // A real FileChannel on fd 1 rather than wrapping System.out: PrintStream swallows write errors
+                    rawChannel = toStdout ? new FileOutputStream(FileDescriptor.out).getChannel()
+                        : FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                }
+                outputReady = true;
+                while (!stopping || !pendingFrames.isEmpty()) {
+                    Frame frame = pendingFrames.poll(50, TimeUnit.MILLISECONDS);
+                    if (frame == null) continue;
+                    scaleToOutput(frame, scaled);
+                    long capturedNanos = frame.capturedNanos;
+                    freeFrames.add(frame); // Hand the buffer back before the slow part
+
+                    if (format == Format.RAW_RGB) {
+                        byte[] bytes = rgb.array();
+                        for (int i = 0, j = 0; i < scaled.length; i++, j += 3) {
+                            int pixel = scaled[i];
+                            bytes[j] = (byte) (pixel >> 16);
+                            bytes[j + 1] = (byte) (pixel >> 8);
+                            bytes[j + 2] = (byte) pixel;
+                        }
+                        rgb.clear();
+                        while (rgb.hasRemaining()) {
+                            rawChannel.write(rgb);
+                        }
+                    } else {
+                        png.getRaster().setDataElements(0, 0, width, height, scaled);
+                        Path file = output.resolve(String.format("frame_%06d.png", framesWritten.get()));
+                        try (OutputStream out = Channels.newOutputStream(FileChannel.open(file,
+                                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))) {
+                            ImageIO.write(png, "png", out);
+                        }
+                    }
+                    if (firstWrittenNanos < 0) firstWrittenNanos = capturedNanos;
+                    lastWrittenNanos = capturedNanos;
+                    framesWritten.incrementAndGet();
+                }
+            } catch (IOException e) {
+                failure = e;
+                System.err.println("Frame capture failed: " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (rawChannel != null && !toStdout) { // Leave stdout open for later recordings and the rest of the process
+                    try {
+                        rawChannel.close();
+                    } catch (IOException e) {
+                        // Nothing left to do with a channel that won't close
+                    }
+                }
+            }
+            System.err.printf("Recording stopped: %d frames written, %.2f fps%n", framesWritten.get(), getCapturedFps());
+        }
+
+        /**
+         * Nearest-neighbour resample, so frames rendered at a reduced dynamic resolution still fill the fixed output size.
+         */
+        private void scaleToOutput(Frame frame, int[] out) {
+            if (frame.width == width && frame.height == height) {
+                System.arraycopy(frame.pixels, 0, out, 0, width * height);
+                return;
+            }
+            for (int y = 0; y < height; y++) {
+                int srcRow = (y * frame.height / height) * frame.width;
+                for (int x = 0; x < width; x++) {
+                    out[y * width + x] = frame.pixels[srcRow + x * frame.width / width];
+                }
+            }
+        }
+
+        public long getFramesSubmitted() { return framesSubmitted; }
+        public long getFramesDropped() { return framesDropped; }
+        public long getFramesWritten() { return framesWritten.get(); }
+        public int getFramesQueued() { return pendingFrames.size(); }
+        /**
+         * Rate at which the frames in the output were captured, from the first to the last one written (so a recording
+         * cut short by close() isn't overstated). The render loop isn't capped and raw output carries no timestamps,
+         * so this is the frame rate to play a recording back at.
+         */
+        public double getCapturedFps() {
+            long written = framesWritten.get();
+            long elapsed = lastWrittenNanos - firstWrittenNanos;
+            return written < 2 || elapsed <= 0 ? 0 : (written - 1) * 1_000_000_000.0 / elapsed;
+        }
+
+        public double getAverageCopyMillis() { return framesSubmitted == 0 ? 0 : copyNanos / 1_000_000.0 / framesSubmitted; }
+    }
+
     // PerlinNoise class for terrain generation
     static class PerlinNoise {
         private int[] p;